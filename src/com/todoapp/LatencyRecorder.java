@@ -0,0 +1,138 @@
+package com.todoapp;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * LatencyRecorder class collecting per-operation latency samples
+ * Each worker thread owns one recorder; recorders are merged before reporting
+ */
+public class LatencyRecorder {
+    private final Map<TaskOperation, long[]> samples;
+    private final Map<TaskOperation, Integer> counts;
+    private final Map<TaskOperation, Integer> misses; // Calls whose task no longer existed
+
+    /**
+     * Constructor creates an empty recorder
+     */
+    public LatencyRecorder() {
+        this.samples = new EnumMap<>(TaskOperation.class);
+        this.counts = new EnumMap<>(TaskOperation.class);
+        this.misses = new EnumMap<>(TaskOperation.class);
+    }
+
+    /**
+     * Record one latency sample
+     * @param operation The operation that was timed
+     * @param nanos The elapsed time in nanoseconds
+     */
+    public void record(TaskOperation operation, long nanos) {
+        long[] values = samples.get(operation);
+        int count = getCount(operation);
+        if (values == null) {
+            values = new long[1024];
+        } else if (count == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[count] = nanos;
+        samples.put(operation, values);
+        counts.put(operation, count + 1);
+    }
+
+    /**
+     * Record a call that found no task with the given ID
+     * @param operation The operation that missed
+     */
+    public void recordMiss(TaskOperation operation) {
+        misses.put(operation, getMissCount(operation) + 1);
+    }
+
+    /**
+     * Add all samples from another recorder to this one
+     * @param other The recorder to merge in
+     */
+    public void merge(LatencyRecorder other) {
+        for (Map.Entry<TaskOperation, long[]> entry : other.samples.entrySet()) {
+            long[] values = entry.getValue();
+            int count = other.getCount(entry.getKey());
+            for (int i = 0; i < count; i++) {
+                record(entry.getKey(), values[i]);
+            }
+        }
+        for (Map.Entry<TaskOperation, Integer> entry : other.misses.entrySet()) {
+            misses.put(entry.getKey(), getMissCount(entry.getKey()) + entry.getValue());
+        }
+    }
+
+    /**
+     * Get the number of samples recorded for an operation
+     * @param operation The operation
+     * @return Sample count
+     */
+    public int getCount(TaskOperation operation) {
+        Integer count = counts.get(operation);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Get the number of calls for an operation that found no task
+     * @param operation The operation
+     * @return Miss count
+     */
+    public int getMissCount(TaskOperation operation) {
+        Integer count = misses.get(operation);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Get the total number of samples across all operations
+     * @return Total sample count
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Print throughput and latency percentiles per operation type
+     * @param out The stream to print to
+     * @param elapsedNanos Wall-clock duration of the run
+     */
+    public void printReport(PrintStream out, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+
+        out.printf("%-9s %10s %8s %12s %10s %10s %10s %10s %10s%n",
+                "op", "count", "misses", "ops/s", "p50(us)", "p90(us)", "p99(us)", "p99.9(us)", "max(us)");
+        for (TaskOperation operation : TaskOperation.values()) {
+            int count = getCount(operation);
+            if (count == 0) {
+                continue;
+            }
+            long[] sorted = Arrays.copyOf(samples.get(operation), count);
+            Arrays.sort(sorted);
+            out.printf("%-9s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.name().toLowerCase(), count, getMissCount(operation), count / seconds,
+                    micros(percentile(sorted, 50.0)), micros(percentile(sorted, 90.0)),
+                    micros(percentile(sorted, 99.0)), micros(percentile(sorted, 99.9)),
+                    micros(sorted[count - 1]));
+        }
+        long total = getTotalCount();
+        out.printf("%-9s %10d %8s %12.1f%n", "total", total, "", total / seconds);
+        out.printf("Elapsed: %.3f s%n", seconds);
+    }
+
+    // Nearest-rank percentile of a sorted array
+    private static long percentile(long[] sorted, double percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -0,0 +1,452 @@
+package com.todoapp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * LoadGenerator - drives a TaskManager with configurable, seeded workloads
+ *
+ * Synthetic mode mixes add/complete/reopen/delete/lookup/list/stats calls, and
+ * first-k sorted/prefix queries on the description index, with
+ * configurable weights, description lengths and Zipf-skewed id access, spread
+ * over a number of threads. Replay mode re-runs a trace recorded with
+ * "java com.todoapp.TodoApp --record FILE" at a scaled speed. Both modes print
+ * throughput and latency percentiles per operation type. Passing a retention
+ * limit runs a {@link RetentionSweeper} alongside the synthetic workload.
+ *
+ * Usage:
+ *   java com.todoapp.LoadGenerator [--ops N] [--threads T] [--seed S]
+ *        [--preload N] [--mix add=20,complete=15,...] [--zipf EXP]
+ *        [--desc-min N] [--desc-max N] [--desc-dist uniform|normal] [--top-k K]
+ *        [--retain-max N] [--retain-age-ms N] [--pause-budget MS] [--sweep-interval MS]
+ *   java com.todoapp.LoadGenerator --replay FILE [--speed X]
+ *   Both modes accept [--status-index true|false] to also keep the status-first index.
+ */
+public class LoadGenerator {
+    private static final String[] WORDS = {
+        "deploy", "review", "fix", "write", "call", "plan", "test", "update",
+        "email", "report", "release", "meeting", "budget", "docs", "backup",
+        "invoice", "design", "refactor", "groceries", "schedule"
+    };
+
+    // Configuration (defaults give a small read-heavy workload)
+    private long operations = 100_000;
+    private int threads = 1;
+    private long seed = 42;
+    private int preload = 1_000;
+    private double zipfExponent = 0.99;
+    private int descriptionMin = 10;
+    private int descriptionMax = 60;
+    private boolean normalDescriptions = false;
+    private int topK = 20;
+    private boolean statusIndex = false;
+    private final Map<TaskOperation, Integer> mix = new EnumMap<>(TaskOperation.class);
+    private long retainMax = RetentionPolicy.UNLIMITED;
+    private long retainAgeMillis = RetentionPolicy.UNLIMITED;
+    private long pauseBudgetMillis = 2;
+    private long sweepIntervalMillis = 100;
+
+    // Shared state; liveIds must stay in step with the TaskManager, so every
+    // call is made while holding the TaskManager's monitor
+    private TaskManager taskManager;
+    private List<Integer> liveIds;
+    private volatile int liveCount;
+    private TaskOperation[] weightedOperations;
+
+    /**
+     * Constructor sets up the default operation mix
+     */
+    public LoadGenerator() {
+        mix.put(TaskOperation.ADD, 20);
+        mix.put(TaskOperation.COMPLETE, 15);
+        mix.put(TaskOperation.REOPEN, 5);
+        mix.put(TaskOperation.DELETE, 5);
+        mix.put(TaskOperation.LOOKUP, 40);
+        mix.put(TaskOperation.LIST, 5);
+        mix.put(TaskOperation.STATS, 10);
+    }
+
+    /**
+     * Main method - entry point of the load generator
+     */
+    public static void main(String[] args) {
+        String replayFile = null;
+        double speed = 1.0;
+        LoadGenerator generator = new LoadGenerator();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--ops":
+                        generator.operations = Long.parseLong(value);
+                        break;
+                    case "--threads":
+                        generator.threads = Integer.parseInt(value);
+                        break;
+                    case "--seed":
+                        generator.seed = Long.parseLong(value);
+                        break;
+                    case "--preload":
+                        generator.preload = Integer.parseInt(value);
+                        break;
+                    case "--mix":
+                        generator.parseMix(value);
+                        break;
+                    case "--zipf":
+                        generator.zipfExponent = Double.parseDouble(value);
+                        break;
+                    case "--desc-min":
+                        generator.descriptionMin = Integer.parseInt(value);
+                        break;
+                    case "--desc-max":
+                        generator.descriptionMax = Integer.parseInt(value);
+                        break;
+                    case "--desc-dist":
+                        generator.normalDescriptions = parseDistribution(value);
+                        break;
+                    case "--top-k":
+                        generator.topK = Integer.parseInt(value);
+                        break;
+                    case "--status-index":
+                        generator.statusIndex = parseBoolean(value);
+                        break;
+                    case "--retain-max":
+                        generator.retainMax = Long.parseLong(value);
+                        break;
+                    case "--retain-age-ms":
+                        generator.retainAgeMillis = Long.parseLong(value);
+                        break;
+                    case "--pause-budget":
+                        generator.pauseBudgetMillis = Long.parseLong(value);
+                        break;
+                    case "--sweep-interval":
+                        generator.sweepIntervalMillis = Long.parseLong(value);
+                        break;
+                    case "--replay":
+                        replayFile = value;
+                        break;
+                    case "--speed":
+                        speed = Double.parseDouble(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+
+            if (replayFile != null) {
+                runReplay(replayFile, speed, generator.statusIndex);
+            } else {
+                generator.run();
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("Error reading trace: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Replay a recorded TodoApp trace and print the results
+     * @param path The trace file
+     * @param speed Time scale (0 = as fast as possible)
+     * @param statusIndex Whether the replayed TaskManager keeps the status-first index
+     */
+    private static void runReplay(String path, double speed, boolean statusIndex) throws IOException {
+        System.out.println("=== Trace Replay ===");
+        System.out.println("Trace: " + path + ", speed: " + (speed == 0 ? "unthrottled" : speed + "x"));
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long start = System.nanoTime();
+        new TraceReplayer(new TaskManager(statusIndex), speed).replay(path, recorder);
+        recorder.printReport(System.out, System.nanoTime() - start);
+    }
+
+    /**
+     * Run the synthetic workload and print the results
+     */
+    public void run() {
+        validate();
+
+        System.out.println("=== Synthetic Workload ===");
+        System.out.printf("ops=%d threads=%d seed=%d preload=%d zipf=%.2f desc=%d..%d (%s) top-k=%d status-index=%b%n",
+                operations, threads, seed, preload, zipfExponent, descriptionMin, descriptionMax,
+                normalDescriptions ? "normal" : "uniform", topK, statusIndex);
+        System.out.println("mix=" + mix);
+
+        taskManager = new TaskManager(statusIndex);
+        liveIds = new ArrayList<>();
+        Random preloadRandom = new Random(seed);
+        for (int i = 0; i < preload; i++) {
+            liveIds.add(taskManager.addTask(randomDescription(preloadRandom)).getId());
+        }
+        liveCount = liveIds.size();
+
+        final LatencyRecorder[] recorders = new LatencyRecorder[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int index = t;
+            final long count = operations / threads + (t < operations % threads ? 1 : 0);
+            recorders[t] = new LatencyRecorder();
+            workers[t] = new Thread(() -> runWorker(new Random(seed + 1 + index), count, recorders[index]),
+                    "load-worker-" + t);
+        }
+
+        RetentionSweeper sweeper = null;
+        if (retainMax != RetentionPolicy.UNLIMITED || retainAgeMillis != RetentionPolicy.UNLIMITED) {
+            // The sweeper purges tasks behind the workers' backs; a worker drops
+            // an id from liveIds the first time a call on it misses
+            RetentionPolicy policy = new RetentionPolicy(retainAgeMillis, retainMax);
+            System.out.println(policy + ", pause budget " + pauseBudgetMillis + " ms");
+            sweeper = new RetentionSweeper(taskManager, policy, sweepIntervalMillis, pauseBudgetMillis);
+            sweeper.start();
+        }
+
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sweeper != null) {
+            sweeper.stop();
+        }
+
+        LatencyRecorder total = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            total.merge(recorder);
+        }
+        total.printReport(System.out, elapsed);
+        System.out.println("Tasks remaining: " + taskManager.getTotalTaskCount());
+        if (sweeper != null) {
+            System.out.println("Retention: " + sweeper.getTotalReclaimed() + " tasks reclaimed; last: "
+                    + sweeper.getLastResult());
+        }
+    }
+
+    /**
+     * Worker loop: issue a fixed number of operations drawn from the mix
+     * @param random This worker's random source
+     * @param count Number of operations to issue
+     * @param recorder Where latencies are recorded
+     */
+    private void runWorker(Random random, long count, LatencyRecorder recorder) {
+        ZipfianGenerator zipf = new ZipfianGenerator(zipfExponent);
+
+        for (long i = 0; i < count; i++) {
+            TaskOperation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+
+            // Draw inputs outside the lock so only the TaskManager call is timed
+            String text = null; // Description for ADD, prefix for PREFIX
+            if (operation == TaskOperation.ADD) {
+                text = randomDescription(random);
+            } else if (operation == TaskOperation.PREFIX) {
+                text = randomPrefix(random);
+            }
+            int rank = liveCount > 0 ? zipf.next(random, liveCount) : 1;
+            int listChoice = random.nextInt(3);
+
+            boolean hit;
+            long begin = System.nanoTime();
+            synchronized (taskManager) {
+                if (liveIds.isEmpty() && needsTask(operation)) {
+                    operation = TaskOperation.ADD; // Nothing to act on yet
+                    text = randomDescription(random);
+                }
+                int index = Math.min(rank, liveIds.size()) - 1;
+                hit = execute(operation, text, index, listChoice);
+                if (!hit && needsTask(operation) && operation != TaskOperation.DELETE) {
+                    removeLiveId(index); // Purged by the retention sweeper
+                }
+                liveCount = liveIds.size();
+            }
+            recorder.record(operation, System.nanoTime() - begin);
+            if (!hit) {
+                recorder.recordMiss(operation);
+            }
+        }
+    }
+
+    // Operations that act on one existing task
+    private static boolean needsTask(TaskOperation operation) {
+        return operation == TaskOperation.COMPLETE || operation == TaskOperation.REOPEN
+                || operation == TaskOperation.DELETE || operation == TaskOperation.LOOKUP;
+    }
+
+    /**
+     * Execute one operation; the caller holds the TaskManager's monitor
+     * @return false if the operation acted on a task that no longer exists
+     */
+    private boolean execute(TaskOperation operation, String text, int index, int listChoice) {
+        switch (operation) {
+            case ADD:
+                liveIds.add(taskManager.addTask(text).getId());
+                return true;
+            case COMPLETE:
+                return taskManager.markTaskComplete(liveIds.get(index));
+            case REOPEN:
+                return taskManager.markTaskIncomplete(liveIds.get(index));
+            case DELETE: {
+                boolean deleted = taskManager.deleteTask(liveIds.get(index));
+                removeLiveId(index);
+                return deleted;
+            }
+            case LOOKUP:
+                return taskManager.getTaskById(liveIds.get(index)) != null;
+            case LIST:
+                if (listChoice == 0) {
+                    taskManager.getAllTasks();
+                } else if (listChoice == 1) {
+                    taskManager.getPendingTasks();
+                } else {
+                    taskManager.getCompletedTasks();
+                }
+                break;
+            case STATS:
+                taskManager.getTotalTaskCount();
+                taskManager.getCompletedTaskCount();
+                taskManager.getPendingTaskCount();
+                break;
+            case SORTED:
+                taskManager.getFirstTasksByDescription(topK);
+                break;
+            case PREFIX:
+                taskManager.findTasksByPrefix(text, topK);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported operation in mix: " + operation);
+        }
+        return true;
+    }
+
+    // Swap-remove keeps this O(1); the caller holds the TaskManager's monitor
+    private void removeLiveId(int index) {
+        int last = liveIds.size() - 1;
+        liveIds.set(index, liveIds.get(last));
+        liveIds.remove(last);
+    }
+
+    /**
+     * Build a random description from the word list
+     * @param random The random source
+     * @return A description whose length follows the configured distribution
+     */
+    private String randomDescription(Random random) {
+        int length;
+        if (normalDescriptions) {
+            double mean = (descriptionMin + descriptionMax) / 2.0;
+            double stddev = (descriptionMax - descriptionMin) / 6.0;
+            length = (int) Math.round(mean + random.nextGaussian() * stddev);
+            length = Math.max(descriptionMin, Math.min(descriptionMax, length));
+        } else {
+            length = descriptionMin + random.nextInt(descriptionMax - descriptionMin + 1);
+        }
+
+        StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        builder.setLength(length);
+        return builder.toString().trim();
+    }
+
+    /**
+     * Build a random search prefix: the start of a word descriptions begin with
+     * @param random The random source
+     * @return A prefix of 1 to full word length
+     */
+    private String randomPrefix(Random random) {
+        String word = WORDS[random.nextInt(WORDS.length)];
+        return word.substring(0, 1 + random.nextInt(word.length()));
+    }
+
+    /**
+     * Parse a mix such as "add=20,lookup=70,delete=10"; unlisted operations get weight 0
+     * @param value The mix specification
+     */
+    private void parseMix(String value) {
+        mix.clear();
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            TaskOperation operation = TaskOperation.parse(pair[0]);
+            if (operation == TaskOperation.CLEAR) {
+                throw new IllegalArgumentException("CLEAR is not supported in a synthetic mix");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative: " + part);
+            }
+            mix.put(operation, weight);
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Expected true or false: " + value);
+    }
+
+    private static boolean parseDistribution(String value) {
+        if (value.equalsIgnoreCase("normal")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("uniform")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown description distribution: " + value);
+    }
+
+    /**
+     * Check the configuration and expand the mix into a lookup table
+     */
+    private void validate() {
+        if (operations < 0 || threads < 1 || preload < 0) {
+            throw new IllegalArgumentException("ops and preload must be >= 0, threads >= 1");
+        }
+        if (topK < 0) {
+            throw new IllegalArgumentException("top-k cannot be negative");
+        }
+        if (descriptionMin < 1 || descriptionMax < descriptionMin) {
+            throw new IllegalArgumentException("Description lengths must satisfy 1 <= min <= max");
+        }
+        new ZipfianGenerator(zipfExponent); // Validates the exponent
+
+        List<TaskOperation> table = new ArrayList<>();
+        for (Map.Entry<TaskOperation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                table.add(entry.getKey());
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix must have a positive total weight");
+        }
+        weightedOperations = table.toArray(new TaskOperation[0]);
+    }
+}
@@ -0,0 +1,288 @@
+package com.todoapp;
+
+import java.util.List;
+
+/**
+ * RecordingTaskManager class that writes every TaskManager call to a trace
+ *
+ * Used by TodoApp under --record so a session is captured at the TaskManager
+ * boundary: each public call is recorded exactly once, after it returns.
+ * Calls one TaskManager method makes to another (markTaskComplete looking up
+ * the task, for example) are part of the outer call and are not recorded.
+ */
+public class RecordingTaskManager extends TaskManager {
+    private final TraceRecorder recorder;
+    private int depth; // Nesting of overridden calls, guarded by the manager's lock
+
+    /**
+     * Constructor to create a recording task manager
+     * @param recorder Where calls are written
+     */
+    public RecordingTaskManager(TraceRecorder recorder) {
+        this(recorder, false);
+    }
+
+    /**
+     * Constructor to create a recording task manager
+     * @param recorder Where calls are written
+     * @param statusIndex true to also keep the status-first ordering
+     */
+    public RecordingTaskManager(TraceRecorder recorder, boolean statusIndex) {
+        super(statusIndex);
+        if (recorder == null) {
+            throw new IllegalArgumentException("Trace recorder is required");
+        }
+        this.recorder = recorder;
+    }
+
+    @Override
+    public synchronized Task addTask(String description) {
+        depth++;
+        try {
+            Task task = super.addTask(description);
+            if (depth == 1) {
+                recorder.recordAdd(task);
+            }
+            return task;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> getAllTasks() {
+        depth++;
+        try {
+            List<Task> tasks = super.getAllTasks();
+            if (depth == 1) {
+                recorder.recordList("all");
+            }
+            return tasks;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized Task getTaskById(int id) {
+        depth++;
+        try {
+            Task task = super.getTaskById(id);
+            if (depth == 1) {
+                recorder.record(TaskOperation.LOOKUP, id);
+            }
+            return task;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized boolean markTaskComplete(int id) {
+        depth++;
+        try {
+            boolean marked = super.markTaskComplete(id);
+            if (depth == 1) {
+                recorder.record(TaskOperation.COMPLETE, id);
+            }
+            return marked;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized boolean markTaskIncomplete(int id) {
+        depth++;
+        try {
+            boolean marked = super.markTaskIncomplete(id);
+            if (depth == 1) {
+                recorder.record(TaskOperation.REOPEN, id);
+            }
+            return marked;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized boolean deleteTask(int id) {
+        depth++;
+        try {
+            boolean deleted = super.deleteTask(id);
+            if (depth == 1) {
+                recorder.record(TaskOperation.DELETE, id);
+            }
+            return deleted;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> getCompletedTasks() {
+        depth++;
+        try {
+            List<Task> tasks = super.getCompletedTasks();
+            if (depth == 1) {
+                recorder.recordList("completed");
+            }
+            return tasks;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> getPendingTasks() {
+        depth++;
+        try {
+            List<Task> tasks = super.getPendingTasks();
+            if (depth == 1) {
+                recorder.recordList("pending");
+            }
+            return tasks;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized int getTotalTaskCount() {
+        depth++;
+        try {
+            int count = super.getTotalTaskCount();
+            if (depth == 1) {
+                recorder.recordStats("total");
+            }
+            return count;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized int getCompletedTaskCount() {
+        depth++;
+        try {
+            int count = super.getCompletedTaskCount();
+            if (depth == 1) {
+                recorder.recordStats("completed");
+            }
+            return count;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized int getPendingTaskCount() {
+        depth++;
+        try {
+            int count = super.getPendingTaskCount();
+            if (depth == 1) {
+                recorder.recordStats("pending");
+            }
+            return count;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> getTasksSortedByDescription() {
+        depth++;
+        try {
+            List<Task> tasks = super.getTasksSortedByDescription();
+            if (depth == 1) {
+                recorder.recordSorted("all");
+            }
+            return tasks;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> getFirstTasksByDescription(int limit) {
+        depth++;
+        try {
+            List<Task> tasks = super.getFirstTasksByDescription(limit);
+            if (depth == 1) {
+                recorder.recordSorted(String.valueOf(limit));
+            }
+            return tasks;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> findTasksByPrefix(String prefix) {
+        depth++;
+        try {
+            List<Task> tasks = super.findTasksByPrefix(prefix);
+            if (depth == 1) {
+                recorder.recordPrefix("all", prefix);
+            }
+            return tasks;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> findTasksByPrefix(String prefix, int limit) {
+        depth++;
+        try {
+            List<Task> tasks = super.findTasksByPrefix(prefix, limit);
+            if (depth == 1) {
+                recorder.recordPrefix(String.valueOf(limit), prefix);
+            }
+            return tasks;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> getTasksByStatusSorted(boolean completed, int limit) {
+        depth++;
+        try {
+            List<Task> tasks = super.getTasksByStatusSorted(completed, limit);
+            if (depth == 1) {
+                recorder.recordSorted(limit + (completed ? ":completed" : ":pending"));
+            }
+            return tasks;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> findTasksByStatusAndPrefix(boolean completed, String prefix, int limit) {
+        depth++;
+        try {
+            List<Task> tasks = super.findTasksByStatusAndPrefix(completed, prefix, limit);
+            if (depth == 1) {
+                recorder.recordPrefix(limit + (completed ? ":completed" : ":pending"), prefix);
+            }
+            return tasks;
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public synchronized void clearAllTasks() {
+        depth++;
+        try {
+            super.clearAllTasks();
+            if (depth == 1) {
+                recorder.record(TaskOperation.CLEAR);
+            }
+        } finally {
+            depth--;
+        }
+    }
+}
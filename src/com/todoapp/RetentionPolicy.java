@@ -0,0 +1,65 @@
+package com.todoapp;
+
+/**
+ * RetentionPolicy class describing which completed tasks may be purged
+ * A completed task is purged when it is older than the maximum age, or when
+ * it is among the oldest completed tasks beyond the maximum count.
+ * Pending tasks are never purged.
+ */
+public class RetentionPolicy {
+    /** Marker for a limit that is not enforced */
+    public static final long UNLIMITED = -1;
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private final long maxAgeMillis;
+    private final long maxCompleted;
+
+    /**
+     * Constructor to create a policy
+     * @param maxAgeMillis Purge tasks completed longer ago than this, or UNLIMITED
+     * @param maxCompleted Keep at most this many completed tasks, or UNLIMITED
+     */
+    public RetentionPolicy(long maxAgeMillis, long maxCompleted) {
+        if (maxAgeMillis < 0 && maxAgeMillis != UNLIMITED) {
+            throw new IllegalArgumentException("Maximum age cannot be negative");
+        }
+        if (maxCompleted < 0 && maxCompleted != UNLIMITED) {
+            throw new IllegalArgumentException("Maximum completed count cannot be negative");
+        }
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxCompleted = maxCompleted;
+    }
+
+    /**
+     * Policy that drops completed tasks older than a number of days
+     * @param days The retention period in days
+     * @return The policy
+     */
+    public static RetentionPolicy completedOlderThanDays(int days) {
+        return new RetentionPolicy(days * MILLIS_PER_DAY, UNLIMITED);
+    }
+
+    /**
+     * Policy that keeps only the most recently completed tasks
+     * @param count Maximum number of completed tasks to keep
+     * @return The policy
+     */
+    public static RetentionPolicy keepAtMostCompleted(long count) {
+        return new RetentionPolicy(UNLIMITED, count);
+    }
+
+    public long getMaxAgeMillis() {
+        return maxAgeMillis;
+    }
+
+    public long getMaxCompleted() {
+        return maxCompleted;
+    }
+
+    @Override
+    public String toString() {
+        return "RetentionPolicy[maxAge=" + (maxAgeMillis == UNLIMITED ? "unlimited" : maxAgeMillis + "ms")
+                + ", maxCompleted=" + (maxCompleted == UNLIMITED ? "unlimited" : String.valueOf(maxCompleted)) + "]";
+    }
+}
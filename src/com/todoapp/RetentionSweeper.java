@@ -0,0 +1,420 @@
+package com.todoapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * RetentionSweeper class that purges completed tasks in the background
+ *
+ * Each sweep applies a {@link RetentionPolicy} to a TaskManager in small
+ * slices. A slice holds the manager's lock for at most the pause budget and
+ * is followed by an equally long gap, so foreground calls never wait longer
+ * than one slice. Purged tasks are detached from the manager straight away
+ * but left in its list, since closing the gap would shift the whole list
+ * inside one pause. Once purged tasks make up a quarter of the list, the
+ * sweep copies the surviving tasks into a right-sized list (again in slices)
+ * so the spare capacity is returned.
+ *
+ * Several sweepers may share one TaskManager: the manager tracks how many
+ * sweeps are walking its list, and each phase starts over on the next sweep
+ * if another sweeper replaces the list underneath it.
+ */
+public class RetentionSweeper {
+    private static final int CHECK_INTERVAL = 256; // Tasks read between clock checks
+    private static final int PURGE_CHECK_INTERVAL = 16; // Purging re-sorts indexes, so check sooner
+    private static final double COMPACT_FRACTION = 0.25; // Purged share of the list that triggers a copy
+
+    private final TaskManager taskManager;
+    private final RetentionPolicy policy;
+    private final long sweepIntervalMillis;
+    private final long pauseBudgetNanos;
+    private final Object sweepLock = new Object(); // Only one sweep at a time
+
+    private volatile Consumer<SweepResult> listener;
+    private volatile SweepResult lastResult;
+    private volatile long totalReclaimed;
+    private Thread thread;
+
+    // Per-sweep bookkeeping, guarded by sweepLock
+    private int slices;
+    private long longestPauseNanos;
+
+    /**
+     * Constructor to create a sweeper
+     * @param taskManager The task manager to sweep
+     * @param policy Which completed tasks to purge
+     * @param sweepIntervalMillis Delay between background sweeps
+     * @param pauseBudgetMillis Longest time a slice may hold the manager's lock
+     */
+    public RetentionSweeper(TaskManager taskManager, RetentionPolicy policy,
+                            long sweepIntervalMillis, long pauseBudgetMillis) {
+        if (taskManager == null || policy == null) {
+            throw new IllegalArgumentException("Task manager and policy are required");
+        }
+        if (sweepIntervalMillis <= 0 || pauseBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Sweep interval and pause budget must be positive");
+        }
+        this.taskManager = taskManager;
+        this.policy = policy;
+        this.sweepIntervalMillis = sweepIntervalMillis;
+        this.pauseBudgetNanos = TimeUnit.MILLISECONDS.toNanos(pauseBudgetMillis);
+    }
+
+    /**
+     * Set a listener called with the result of every sweep (on the sweeping thread)
+     * @param listener The listener, or null to remove it
+     */
+    public void setSweepListener(Consumer<SweepResult> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Get the result of the most recent sweep
+     * @return The last result, or null if no sweep has run
+     */
+    public SweepResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Get the number of tasks purged by all sweeps so far
+     * @return Total reclaimed task count
+     */
+    public long getTotalReclaimed() {
+        return totalReclaimed;
+    }
+
+    /**
+     * Start sweeping on a background daemon thread
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("Sweeper is already running");
+        }
+        thread = new Thread(this::runLoop, "retention-sweeper");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the background thread, abandoning any sweep in progress
+     */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    private void runLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            sweepNow();
+            try {
+                Thread.sleep(sweepIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Run one complete sweep on the calling thread
+     * @return What the sweep reclaimed and how long it took
+     */
+    public SweepResult sweepNow() {
+        synchronized (sweepLock) {
+            long start = System.nanoTime();
+            slices = 0;
+            longestPauseNanos = 0;
+
+            synchronized (taskManager) {
+                taskManager.beginSweep();
+            }
+
+            int reclaimed = 0;
+            boolean compacted = false;
+            try {
+                // Work out the purge cutoff: completedAt <= cutoff, at most limit tasks
+                long cutoff = Long.MIN_VALUE;
+                long limit = Long.MAX_VALUE;
+                if (policy.getMaxAgeMillis() != RetentionPolicy.UNLIMITED) {
+                    cutoff = System.currentTimeMillis() - policy.getMaxAgeMillis();
+                }
+                if (policy.getMaxCompleted() != RetentionPolicy.UNLIMITED) {
+                    long excess;
+                    synchronized (taskManager) {
+                        excess = taskManager.getCompletedTaskCount() - policy.getMaxCompleted();
+                    }
+                    if (excess > 0) {
+                        long countCutoff = findCountCutoff(excess);
+                        if (countCutoff > cutoff) {
+                            cutoff = countCutoff;
+                            limit = excess;
+                        }
+                    }
+                }
+
+                if (cutoff != Long.MIN_VALUE && !Thread.currentThread().isInterrupted()) {
+                    reclaimed = purge(cutoff, limit);
+                }
+
+                if (needsCompaction() && !Thread.currentThread().isInterrupted()) {
+                    compacted = compact();
+                }
+            } finally {
+                synchronized (taskManager) {
+                    taskManager.endSweep();
+                }
+            }
+
+            SweepResult result = new SweepResult(reclaimed, System.nanoTime() - start,
+                    slices, longestPauseNanos, compacted, taskManager.getTotalTaskCount());
+            totalReclaimed += reclaimed;
+            lastResult = result;
+            Consumer<SweepResult> current = listener;
+            if (current != null) {
+                current.accept(result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Find the completion time at or below which the oldest excess completed tasks fall
+     * Reads the list in slices; concurrent changes make the answer approximate,
+     * which the next sweep corrects
+     * @param excess How many completed tasks are over the limit
+     * @return The cutoff completion time, or Long.MIN_VALUE if none was found
+     *         or the list was replaced meanwhile
+     */
+    private long findCountCutoff(long excess) {
+        // Size the buffer outside the lock so slices rarely have to grow it
+        long[] times = new long[Math.max(taskManager.getCompletedTaskCount(), 16)];
+        int found = 0;
+        int position = 0;
+        int version = currentVersion();
+
+        while (true) {
+            boolean done;
+            synchronized (taskManager) {
+                long sliceStart = System.nanoTime();
+                if (taskManager.getStructureVersion() != version) {
+                    endSlice(sliceStart);
+                    return Long.MIN_VALUE; // Positions are stale; leave it to the next sweep
+                }
+                List<Task> tasks = taskManager.taskList();
+                int processed = 0;
+                while (position < tasks.size()) {
+                    Task task = tasks.get(position++);
+                    if (task.isCompleted() && task.owner == taskManager) {
+                        if (found == times.length) {
+                            times = Arrays.copyOf(times, times.length * 2);
+                        }
+                        times[found++] = task.getCompletedAt();
+                    }
+                    if (++processed % CHECK_INTERVAL == 0
+                            && System.nanoTime() - sliceStart >= pauseBudgetNanos) {
+                        break;
+                    }
+                }
+                done = position >= tasks.size();
+                endSlice(sliceStart);
+            }
+            if (done || !pauseBetweenSlices()) {
+                break;
+            }
+        }
+
+        if (found == 0) {
+            return Long.MIN_VALUE;
+        }
+        Arrays.sort(times, 0, found);
+        return times[(int) Math.min(excess, found) - 1];
+    }
+
+    /**
+     * Purge completed tasks finished at or before the cutoff, in slices
+     * Purged tasks vanish from every view at once but stay in the list until compaction
+     * @param cutoff Completion time (epoch millis) at or before which tasks are purged
+     * @param limit Maximum number of tasks to purge
+     * @return Number of tasks purged
+     */
+    private int purge(long cutoff, long limit) {
+        int removed = 0;
+        int position = 0;
+        int version = currentVersion();
+
+        while (true) {
+            boolean done;
+            synchronized (taskManager) {
+                long sliceStart = System.nanoTime();
+                if (taskManager.getStructureVersion() != version) {
+                    endSlice(sliceStart);
+                    return removed; // Positions are stale; leave the rest to the next sweep
+                }
+                List<Task> tasks = taskManager.taskList();
+                int processed = 0;
+                while (position < tasks.size() && removed < limit) {
+                    Task task = tasks.get(position++);
+                    if (task.isCompleted() && task.getCompletedAt() <= cutoff && task.owner == taskManager) {
+                        taskManager.purge(task);
+                        removed++;
+                    }
+                    if (++processed % PURGE_CHECK_INTERVAL == 0
+                            && System.nanoTime() - sliceStart >= pauseBudgetNanos) {
+                        break;
+                    }
+                }
+                done = position >= tasks.size() || removed >= limit;
+                endSlice(sliceStart);
+            }
+            if (done || !pauseBetweenSlices()) {
+                return removed;
+            }
+        }
+    }
+
+    /**
+     * Check whether enough purged tasks have piled up to be worth a full copy
+     * @return true if at least COMPACT_FRACTION of the list is purged tasks
+     */
+    private boolean needsCompaction() {
+        synchronized (taskManager) {
+            int purged = taskManager.getPurgedCount();
+            return purged > 0 && purged >= COMPACT_FRACTION * taskManager.taskList().size();
+        }
+    }
+
+    /**
+     * Copy the live tasks into a right-sized list in slices, then swap it in
+     * This drops purged tasks and returns the spare capacity of the old list
+     * @return true if the compacted list was installed
+     */
+    private boolean compact() {
+        int size = taskManager.getTotalTaskCount();
+        List<Task> copy = new ArrayList<>(size + size / 16 + 16); // Allocated outside the lock
+        int copied = 0;
+        int skipped = 0;
+        int version = currentVersion();
+
+        while (true) {
+            boolean done;
+            synchronized (taskManager) {
+                long sliceStart = System.nanoTime();
+                if (taskManager.getStructureVersion() != version) {
+                    endSlice(sliceStart);
+                    return false; // Cleared or compacted by another sweeper meanwhile
+                }
+                List<Task> tasks = taskManager.taskList();
+                while (copied < tasks.size()) {
+                    Task task = tasks.get(copied++);
+                    if (task.owner == taskManager) {
+                        copy.add(task);
+                    } else {
+                        skipped++;
+                    }
+                    if (copied % CHECK_INTERVAL == 0 && System.nanoTime() - sliceStart >= pauseBudgetNanos) {
+                        break;
+                    }
+                }
+                done = copied >= tasks.size();
+                if (done) {
+                    // Tasks purged behind the copy position are still in the copy
+                    taskManager.replaceTaskList(copy, taskManager.getPurgedCount() - skipped);
+                }
+                endSlice(sliceStart);
+            }
+            if (done) {
+                return true;
+            }
+            if (!pauseBetweenSlices()) {
+                return false;
+            }
+        }
+    }
+
+    private int currentVersion() {
+        synchronized (taskManager) {
+            return taskManager.getStructureVersion();
+        }
+    }
+
+    // Record the lock hold time of a slice; call while still holding the lock
+    private void endSlice(long sliceStart) {
+        slices++;
+        longestPauseNanos = Math.max(longestPauseNanos, System.nanoTime() - sliceStart);
+    }
+
+    // Leave the foreground at least as much time as a slice may take
+    private boolean pauseBetweenSlices() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(pauseBudgetNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * SweepResult class holding the outcome of one sweep
+     */
+    public static class SweepResult {
+        private final int reclaimed;
+        private final long durationNanos;
+        private final int slices;
+        private final long longestPauseNanos;
+        private final boolean compacted;
+        private final int remainingTasks;
+
+        SweepResult(int reclaimed, long durationNanos, int slices, long longestPauseNanos,
+                    boolean compacted, int remainingTasks) {
+            this.reclaimed = reclaimed;
+            this.durationNanos = durationNanos;
+            this.slices = slices;
+            this.longestPauseNanos = longestPauseNanos;
+            this.compacted = compacted;
+            this.remainingTasks = remainingTasks;
+        }
+
+        public int getReclaimed() {
+            return reclaimed;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public int getSlices() {
+            return slices;
+        }
+
+        public long getLongestPauseNanos() {
+            return longestPauseNanos;
+        }
+
+        public boolean isCompacted() {
+            return compacted;
+        }
+
+        public int getRemainingTasks() {
+            return remainingTasks;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Sweep reclaimed %d tasks in %.1f ms (%d slices, longest pause %.2f ms%s), %d tasks left",
+                    reclaimed, durationNanos / 1e6, slices, longestPauseNanos / 1e6,
+                    compacted ? ", compacted" : "", remainingTasks);
+        }
+    }
+}
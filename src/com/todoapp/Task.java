@@ -9,6 +9,8 @@ public class Task {
     private int id;
     private String description;
     private boolean isCompleted;
+    private long completedAt; // Epoch millis when last completed, 0 while pending
+    TaskManager owner; // Manager whose sorted indexes contain this task, if any
     
     /**
      * Constructor to create a new task
@@ -20,6 +22,16 @@ public class Task {
         this.isCompleted = false;
     }
     
+    /**
+     * Constructor for search keys used by TaskManager's sorted indexes
+     * Does not consume an ID from the counter
+     */
+    Task(int id, String description, boolean isCompleted) {
+        this.id = id;
+        this.description = description;
+        this.isCompleted = isCompleted;
+    }
+    
     // Getter methods
     public int getId() {
         return id;
@@ -33,17 +45,62 @@ public class Task {
         return isCompleted;
     }
     
-    // Setter methods
+    /**
+     * Get the time the task was completed
+     * @return Epoch milliseconds of the last completion, or 0 if pending
+     */
+    public long getCompletedAt() {
+        return completedAt;
+    }
+    
+    // Setter methods (the owning manager re-sorts the task around each change)
     public void setDescription(String description) {
-        this.description = description;
+        if (description == null || description.trim().isEmpty()) {
+            throw new IllegalArgumentException("Task description cannot be empty");
+        }
+        String trimmed = description.trim(); // Same normalisation as TaskManager.addTask
+        update(() -> this.description = trimmed);
     }
     
     public void markAsCompleted() {
-        this.isCompleted = true;
+        setCompleted(true);
     }
     
     public void markAsIncomplete() {
-        this.isCompleted = false;
+        setCompleted(false);
+    }
+    
+    private void setCompleted(boolean completed) {
+        if (isCompleted == completed) {
+            return;
+        }
+        update(() -> {
+            this.isCompleted = completed;
+            this.completedAt = completed ? System.currentTimeMillis() : 0;
+        });
+    }
+    
+    /**
+     * Apply a change to the task's sort keys while holding the owner's lock,
+     * removing the task from the owner's indexes first and re-adding it after
+     * @param change The field update to apply
+     */
+    private void update(Runnable change) {
+        TaskManager manager = owner;
+        if (manager == null) {
+            change.run();
+            return;
+        }
+        synchronized (manager) {
+            boolean indexed = owner == manager; // May have been deleted meanwhile
+            if (indexed) {
+                manager.unindex(this);
+            }
+            change.run();
+            if (indexed) {
+                manager.index(this);
+            }
+        }
     }
     
     /**
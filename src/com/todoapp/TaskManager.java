@@ -1,21 +1,55 @@
 package com.todoapp;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 
 /**
  * TaskManager class to handle all task operations
  * Demonstrates collection usage and data management
+ *
+ * All methods synchronize on the manager, so it can be shared with a
+ * background {@link RetentionSweeper}.
  */
 public class TaskManager {
+    /** Alphabetical (case-insensitive) order, ties broken by ID */
+    private static final Comparator<Task> BY_DESCRIPTION = (a, b) -> {
+        int result = String.CASE_INSENSITIVE_ORDER.compare(a.getDescription(), b.getDescription());
+        return result != 0 ? result : Integer.compare(a.getId(), b.getId());
+    };
+    
+    /** Pending tasks first, then alphabetical within each status */
+    private static final Comparator<Task> BY_STATUS_THEN_DESCRIPTION = (a, b) -> {
+        int result = Boolean.compare(a.isCompleted(), b.isCompleted());
+        return result != 0 ? result : BY_DESCRIPTION.compare(a, b);
+    };
+    
     private List<Task> tasks;
+    private NavigableSet<Task> descriptionIndex;
+    private NavigableSet<Task> statusIndex; // null unless enabled
+    private int completedCount;
+    private int purgedCount; // Purged tasks still in the list; every scan skips them
+    private int activeSweeps; // Sweeps currently walking the list
+    private int structureVersion; // Bumped whenever the list is cleared or replaced
     
     /**
      * Constructor initializes the task list
      */
     public TaskManager() {
+        this(false);
+    }
+    
+    /**
+     * Constructor initializes the task list and sorted indexes
+     * @param statusIndex true to also keep the status-first (pending, then completed) ordering
+     */
+    public TaskManager(boolean statusIndex) {
         this.tasks = new ArrayList<>();
+        this.descriptionIndex = new TreeSet<>(BY_DESCRIPTION);
+        this.statusIndex = statusIndex ? new TreeSet<>(BY_STATUS_THEN_DESCRIPTION) : null;
     }
     
     /**
@@ -23,13 +57,15 @@ public class TaskManager {
      * @param description The task description
      * @return The created task
      */
-    public Task addTask(String description) {
+    public synchronized Task addTask(String description) {
         if (description == null || description.trim().isEmpty()) {
             throw new IllegalArgumentException("Task description cannot be empty");
         }
         
         Task newTask = new Task(description.trim());
         tasks.add(newTask);
+        newTask.owner = this;
+        index(newTask);
         return newTask;
     }
     
@@ -37,8 +73,17 @@ public class TaskManager {
      * Get all tasks
      * @return List of all tasks
      */
-    public List<Task> getAllTasks() {
-        return new ArrayList<>(tasks); // Return a copy to maintain encapsulation
+    public synchronized List<Task> getAllTasks() {
+        if (purgedCount == 0) {
+            return new ArrayList<>(tasks); // Return a copy to maintain encapsulation
+        }
+        List<Task> allTasks = new ArrayList<>(tasks.size() - purgedCount);
+        for (Task task : tasks) {
+            if (task.owner == this) {
+                allTasks.add(task);
+            }
+        }
+        return allTasks;
     }
     
     /**
@@ -46,9 +91,9 @@ public class TaskManager {
      * @param id The task ID
      * @return The task if found, null otherwise
      */
-    public Task getTaskById(int id) {
+    public synchronized Task getTaskById(int id) {
         for (Task task : tasks) {
-            if (task.getId() == id) {
+            if (task.getId() == id && task.owner == this) {
                 return task;
             }
         }
@@ -60,7 +105,7 @@ public class TaskManager {
      * @param id The task ID
      * @return true if task was found and marked complete, false otherwise
      */
-    public boolean markTaskComplete(int id) {
+    public synchronized boolean markTaskComplete(int id) {
         Task task = getTaskById(id);
         if (task != null) {
             task.markAsCompleted();
@@ -74,7 +119,7 @@ public class TaskManager {
      * @param id The task ID
      * @return true if task was found and marked incomplete, false otherwise
      */
-    public boolean markTaskIncomplete(int id) {
+    public synchronized boolean markTaskIncomplete(int id) {
         Task task = getTaskById(id);
         if (task != null) {
             task.markAsIncomplete();
@@ -88,12 +133,17 @@ public class TaskManager {
      * @param id The task ID
      * @return true if task was found and deleted, false otherwise
      */
-    public boolean deleteTask(int id) {
+    public synchronized boolean deleteTask(int id) {
         Iterator<Task> iterator = tasks.iterator();
         while (iterator.hasNext()) {
             Task task = iterator.next();
-            if (task.getId() == id) {
-                iterator.remove();
+            if (task.getId() == id && task.owner == this) {
+                if (activeSweeps > 0) {
+                    purge(task); // Keep list positions stable for the sweeper
+                } else {
+                    iterator.remove();
+                    detach(task);
+                }
                 return true;
             }
         }
@@ -104,10 +154,10 @@ public class TaskManager {
      * Get completed tasks
      * @return List of completed tasks
      */
-    public List<Task> getCompletedTasks() {
+    public synchronized List<Task> getCompletedTasks() {
         List<Task> completedTasks = new ArrayList<>();
         for (Task task : tasks) {
-            if (task.isCompleted()) {
+            if (task.isCompleted() && task.owner == this) {
                 completedTasks.add(task);
             }
         }
@@ -118,10 +168,10 @@ public class TaskManager {
      * Get pending (incomplete) tasks
      * @return List of pending tasks
      */
-    public List<Task> getPendingTasks() {
+    public synchronized List<Task> getPendingTasks() {
         List<Task> pendingTasks = new ArrayList<>();
         for (Task task : tasks) {
-            if (!task.isCompleted()) {
+            if (!task.isCompleted() && task.owner == this) {
                 pendingTasks.add(task);
             }
         }
@@ -132,30 +182,254 @@ public class TaskManager {
      * Get the total number of tasks
      * @return Total task count
      */
-    public int getTotalTaskCount() {
-        return tasks.size();
+    public synchronized int getTotalTaskCount() {
+        return tasks.size() - purgedCount;
     }
     
     /**
      * Get the number of completed tasks
      * @return Completed task count
      */
-    public int getCompletedTaskCount() {
-        return getCompletedTasks().size();
+    public synchronized int getCompletedTaskCount() {
+        return completedCount;
     }
     
     /**
      * Get the number of pending tasks
      * @return Pending task count
      */
-    public int getPendingTaskCount() {
-        return getPendingTasks().size();
+    public synchronized int getPendingTaskCount() {
+        return tasks.size() - purgedCount - completedCount;
     }
     
     /**
      * Clear all tasks
      */
-    public void clearAllTasks() {
+    public synchronized void clearAllTasks() {
+        for (Task task : tasks) {
+            task.owner = null;
+        }
         tasks.clear();
+        descriptionIndex.clear();
+        if (statusIndex != null) {
+            statusIndex.clear();
+        }
+        completedCount = 0;
+        purgedCount = 0;
+        structureVersion++;
+    }
+    
+    /**
+     * Get all tasks sorted alphabetically by description (case-insensitive)
+     * @return Sorted list of all tasks
+     */
+    public synchronized List<Task> getTasksSortedByDescription() {
+        return new ArrayList<>(descriptionIndex);
+    }
+    
+    /**
+     * Get the first tasks in alphabetical order without sorting the whole list
+     * @param limit Maximum number of tasks to return
+     * @return Up to limit tasks, sorted by description
+     */
+    public synchronized List<Task> getFirstTasksByDescription(int limit) {
+        return take(descriptionIndex, limit);
+    }
+    
+    /**
+     * Find tasks whose description starts with a prefix (case-insensitive)
+     * @param prefix The description prefix, e.g. "deploy"
+     * @return Matching tasks sorted by description
+     */
+    public synchronized List<Task> findTasksByPrefix(String prefix) {
+        return findTasksByPrefix(prefix, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Find the first tasks whose description starts with a prefix (case-insensitive)
+     * @param prefix The description prefix
+     * @param limit Maximum number of tasks to return
+     * @return Up to limit matching tasks, sorted by description
+     */
+    public synchronized List<Task> findTasksByPrefix(String prefix, int limit) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix cannot be null");
+        }
+        
+        // Lowest possible key for this prefix: sorts before any real task with it
+        Task start = new Task(Integer.MIN_VALUE, prefix, false);
+        return takePrefix(descriptionIndex.tailSet(start, true), prefix, limit);
+    }
+    
+    /**
+     * Get tasks with one status sorted alphabetically (requires the status index)
+     * @param completed true for completed tasks, false for pending tasks
+     * @param limit Maximum number of tasks to return
+     * @return Up to limit tasks with that status, sorted by description
+     */
+    public synchronized List<Task> getTasksByStatusSorted(boolean completed, int limit) {
+        return findTasksByStatusAndPrefix(completed, "", limit);
+    }
+    
+    /**
+     * Find tasks with one status whose description starts with a prefix (requires the status index)
+     * @param completed true for completed tasks, false for pending tasks
+     * @param prefix The description prefix (case-insensitive)
+     * @param limit Maximum number of tasks to return
+     * @return Up to limit matching tasks, sorted by description
+     */
+    public synchronized List<Task> findTasksByStatusAndPrefix(boolean completed, String prefix, int limit) {
+        if (statusIndex == null) {
+            throw new IllegalStateException("Status index is not enabled for this TaskManager");
+        }
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix cannot be null");
+        }
+        
+        Task start = new Task(Integer.MIN_VALUE, prefix, completed);
+        Task end = new Task(Integer.MIN_VALUE, "", true); // First completed task
+        NavigableSet<Task> range = completed
+                ? statusIndex.tailSet(start, true)
+                : statusIndex.subSet(start, true, end, false);
+        return takePrefix(range, prefix, limit);
+    }
+    
+    /**
+     * Add a task to the sorted indexes (called by Task after its sort keys change)
+     * @param task The task to index
+     */
+    synchronized void index(Task task) {
+        descriptionIndex.add(task);
+        if (statusIndex != null) {
+            statusIndex.add(task);
+        }
+        if (task.isCompleted()) {
+            completedCount++;
+        }
+    }
+    
+    /**
+     * Remove a task from the sorted indexes (called by Task before its sort keys change)
+     * @param task The task to remove
+     */
+    synchronized void unindex(Task task) {
+        descriptionIndex.remove(task);
+        if (statusIndex != null) {
+            statusIndex.remove(task);
+        }
+        if (task.isCompleted()) {
+            completedCount--;
+        }
+    }
+    
+    /**
+     * Drop a task from the indexes and release it from this manager
+     * @param task The task being removed
+     */
+    private void detach(Task task) {
+        unindex(task);
+        task.owner = null;
+    }
+    
+    /**
+     * Remove a task without shifting the list: it is detached at once and
+     * left in place until the next compaction drops it
+     * Callers must hold the manager's lock
+     * @param task A live task in this manager
+     */
+    void purge(Task task) {
+        detach(task);
+        purgedCount++;
+    }
+    
+    /**
+     * Register a sweep that is about to walk the list. Until every registered
+     * sweep has ended, deleteTask purges instead of shifting the list, so the
+     * positions sweeps are walking stay valid between their slices
+     * Callers must hold the manager's lock
+     */
+    void beginSweep() {
+        activeSweeps++;
+    }
+    
+    /**
+     * Unregister a sweep started with {@link #beginSweep()}
+     * Callers must hold the manager's lock
+     */
+    void endSweep() {
+        if (activeSweeps == 0) {
+            throw new IllegalStateException("No sweep in progress");
+        }
+        activeSweeps--;
+    }
+    
+    /**
+     * Get the backing task list, including purged tasks (whose owner is no longer this manager)
+     * Callers must hold the manager's lock while using it
+     * @return The backing task list
+     */
+    List<Task> taskList() {
+        return tasks;
+    }
+    
+    /**
+     * Swap in a compacted copy of the task list
+     * Callers must hold the manager's lock
+     * @param compacted The current tasks in order, minus purged tasks already dropped
+     * @param purgedRemaining Number of purged tasks the copy still contains
+     */
+    void replaceTaskList(List<Task> compacted, int purgedRemaining) {
+        this.tasks = compacted;
+        this.purgedCount = purgedRemaining;
+        structureVersion++; // Positions in the old list mean nothing now
+    }
+    
+    /**
+     * Get the number of purged tasks still held in the list
+     * @return Purged task count
+     */
+    int getPurgedCount() {
+        return purgedCount;
+    }
+    
+    /**
+     * Get a counter that changes whenever the list is cleared or replaced
+     * Lets a sweeper detect that its list positions are no longer valid
+     * @return The structure version
+     */
+    int getStructureVersion() {
+        return structureVersion;
+    }
+    
+    // Copy the first limit tasks of an ordered range
+    private static List<Task> take(NavigableSet<Task> range, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        List<Task> result = new ArrayList<>();
+        for (Task task : range) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(task);
+        }
+        return result;
+    }
+    
+    // Copy tasks from the start of a range while they match the prefix;
+    // matches are contiguous in case-insensitive order, so stop at the first miss
+    private static List<Task> takePrefix(NavigableSet<Task> range, String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        List<Task> result = new ArrayList<>();
+        for (Task task : range) {
+            if (result.size() >= limit
+                    || !task.getDescription().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                break;
+            }
+            result.add(task);
+        }
+        return result;
     }
 }
@@ -0,0 +1,33 @@
+package com.todoapp;
+
+/**
+ * TaskOperation enum listing the kinds of calls made against a TaskManager
+ * Shared by the load generator and the command trace recorder/replayer
+ */
+public enum TaskOperation {
+    ADD,
+    COMPLETE,
+    REOPEN,
+    DELETE,
+    LOOKUP,
+    LIST,
+    STATS,
+    SORTED, // First tasks in description order
+    PREFIX, // First tasks whose description starts with a prefix
+    CLEAR;
+
+    /**
+     * Parse an operation name, ignoring case
+     * @param name The operation name (e.g. "add")
+     * @return The matching operation
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static TaskOperation parse(String name) {
+        for (TaskOperation operation : values()) {
+            if (operation.name().equalsIgnoreCase(name.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + name);
+    }
+}
@@ -1,5 +1,6 @@
 package com.todoapp;
 
+import java.io.IOException;
 import java.util.Scanner;
 import java.util.List;
 
@@ -11,21 +12,53 @@ public class TodoApp {
     private TaskManager taskManager;
     private Scanner scanner;
     private boolean isRunning;
+    private TraceRecorder traceRecorder; // null unless started with --record
     
     /**
      * Constructor initializes the application
      */
     public TodoApp() {
-        this.taskManager = new TaskManager();
+        this(null);
+    }
+    
+    /**
+     * Constructor initializes the application with command trace recording
+     * @param traceRecorder Recorder for TaskManager calls, or null to disable
+     */
+    public TodoApp(TraceRecorder traceRecorder) {
+        this.taskManager = traceRecorder != null ? new RecordingTaskManager(traceRecorder) : new TaskManager();
         this.scanner = new Scanner(System.in);
         this.isRunning = true;
+        this.traceRecorder = traceRecorder;
     }
     
     /**
      * Main method - entry point of the application
+     * Pass "--record FILE" to save a command trace for LoadGenerator --replay
      */
     public static void main(String[] args) {
-        TodoApp app = new TodoApp();
+        String traceFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--record") && i + 1 < args.length && traceFile == null) {
+                traceFile = args[++i];
+            } else {
+                System.err.println("❌ Invalid argument: " + args[i]);
+                System.err.println("Usage: java com.todoapp.TodoApp [--record FILE]");
+                System.exit(1);
+            }
+        }
+        
+        TraceRecorder recorder = null;
+        if (traceFile != null) {
+            try {
+                recorder = new TraceRecorder(traceFile);
+            } catch (IOException e) {
+                System.err.println("❌ Could not open trace file: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        
+        TodoApp app = new TodoApp(recorder);
         app.run();
     }
     
@@ -43,6 +76,9 @@ public class TodoApp {
         
         displayGoodbyeMessage();
         scanner.close();
+        if (traceRecorder != null) {
+            traceRecorder.close();
+        }
     }
     
     /**
@@ -0,0 +1,113 @@
+package com.todoapp;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * TraceRecorder class writing the TaskManager calls of a TodoApp session to a file
+ *
+ * Each line is tab-separated: elapsed milliseconds since the session started,
+ * the operation name, and an optional argument. ADD lines carry the id the
+ * task was given followed by its description, so a replay can map later
+ * COMPLETE/DELETE/... ids onto the tasks it creates. Traces are written by
+ * {@link RecordingTaskManager} and read back by {@link TraceReplayer}.
+ */
+public class TraceRecorder {
+    private final BufferedWriter writer;
+    private final long startNanos;
+
+    /**
+     * Constructor opens the trace file for writing
+     * @param path The file to write (overwritten if it exists)
+     * @throws IOException if the file cannot be opened
+     */
+    public TraceRecorder(String path) throws IOException {
+        this.writer = new BufferedWriter(new FileWriter(path));
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Record an added task
+     * @param task The task returned by TaskManager.addTask
+     */
+    public void recordAdd(Task task) {
+        write(TaskOperation.ADD, task.getId() + "\t" + task.getDescription());
+    }
+
+    /**
+     * Record an operation on a single task
+     * @param operation The operation
+     * @param id The task ID passed to TaskManager
+     */
+    public void record(TaskOperation operation, int id) {
+        write(operation, String.valueOf(id));
+    }
+
+    /**
+     * Record a list view
+     * @param filter Which list was shown: "all", "pending" or "completed"
+     */
+    public void recordList(String filter) {
+        write(TaskOperation.LIST, filter);
+    }
+
+    /**
+     * Record a single count query
+     * @param count Which count was read: "total", "completed" or "pending"
+     */
+    public void recordStats(String count) {
+        write(TaskOperation.STATS, count);
+    }
+
+    /**
+     * Record a sorted-order query
+     * @param limit Result limit, "all", optionally followed by ":pending" or ":completed"
+     *              for a query on the status-first index
+     */
+    public void recordSorted(String limit) {
+        write(TaskOperation.SORTED, limit);
+    }
+
+    /**
+     * Record a prefix query
+     * @param limit Result limit in the same form as {@link #recordSorted}
+     * @param prefix The description prefix searched for
+     */
+    public void recordPrefix(String limit, String prefix) {
+        write(TaskOperation.PREFIX, limit + "\t" + prefix);
+    }
+
+    /**
+     * Record an operation that takes no argument (STATS, CLEAR)
+     * @param operation The operation
+     */
+    public void record(TaskOperation operation) {
+        write(operation, null);
+    }
+
+    /**
+     * Flush and close the trace file
+     */
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Warning: could not close trace file: " + e.getMessage());
+        }
+    }
+
+    private void write(TaskOperation operation, String argument) {
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        try {
+            writer.write(elapsedMillis + "\t" + operation.name());
+            if (argument != null) {
+                writer.write("\t" + argument);
+            }
+            writer.newLine();
+            writer.flush(); // Keep the trace usable even if the session is killed
+        } catch (IOException e) {
+            System.err.println("Warning: could not write trace entry: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.todoapp;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * TraceReplayer class replaying a trace written by {@link TraceRecorder}
+ * against a TaskManager, timing every call
+ */
+public class TraceReplayer {
+    private final TaskManager taskManager;
+    private final double speed;
+    private final Map<Integer, Integer> idMapping; // Recorded ID -> replayed ID
+
+    /**
+     * Constructor to create a replayer
+     * @param taskManager The task manager to drive
+     * @param speed Time scale: 1.0 = original pace, 2.0 = twice as fast,
+     *              0 = no waiting between commands
+     */
+    public TraceReplayer(TaskManager taskManager, double speed) {
+        if (speed < 0 || Double.isNaN(speed)) {
+            throw new IllegalArgumentException("Replay speed must be >= 0");
+        }
+        this.taskManager = taskManager;
+        this.speed = speed;
+        this.idMapping = new HashMap<>();
+    }
+
+    /**
+     * Replay a trace file
+     * @param path The trace file to read
+     * @param recorder Where per-operation latencies are recorded
+     * @throws IOException if the file cannot be read
+     */
+    public void replay(String path, LatencyRecorder recorder) throws IOException {
+        long startNanos = System.nanoTime();
+        int lineNumber = 0;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", 3);
+                if (fields.length < 2) {
+                    throw new IOException("Malformed trace line " + lineNumber + ": " + line);
+                }
+
+                long offsetMillis;
+                TaskOperation operation;
+                try {
+                    offsetMillis = Long.parseLong(fields[0].trim());
+                    operation = TaskOperation.parse(fields[1]);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Malformed trace line " + lineNumber + ": " + line);
+                }
+                String argument = fields.length > 2 ? fields[2] : "";
+
+                waitUntil(startNanos, offsetMillis);
+                long begin = System.nanoTime();
+                try {
+                    execute(operation, argument);
+                } catch (IllegalStateException e) {
+                    // Status-first queries need a TaskManager built with that index
+                    throw new IOException("Trace line " + lineNumber + ": " + e.getMessage()
+                            + " (replay with --status-index true)");
+                }
+                recorder.record(operation, System.nanoTime() - begin);
+            }
+        }
+    }
+
+    /**
+     * Execute one trace entry
+     * @param operation The operation
+     * @param argument The raw argument field
+     */
+    private void execute(TaskOperation operation, String argument) {
+        switch (operation) {
+            case ADD: {
+                String[] parts = argument.split("\t", 2);
+                Task task = taskManager.addTask(parts.length > 1 ? parts[1] : parts[0]);
+                idMapping.put(Integer.parseInt(parts[0].trim()), task.getId());
+                break;
+            }
+            case COMPLETE:
+                taskManager.markTaskComplete(mapId(argument));
+                break;
+            case REOPEN:
+                taskManager.markTaskIncomplete(mapId(argument));
+                break;
+            case DELETE:
+                taskManager.deleteTask(mapId(argument));
+                break;
+            case LOOKUP:
+                taskManager.getTaskById(mapId(argument));
+                break;
+            case LIST:
+                if (argument.equals("pending")) {
+                    taskManager.getPendingTasks();
+                } else if (argument.equals("completed")) {
+                    taskManager.getCompletedTasks();
+                } else {
+                    taskManager.getAllTasks();
+                }
+                break;
+            case STATS:
+                // A single count ("total", "completed", "pending"), or all three without an argument
+                if (argument.isEmpty() || argument.equals("total")) {
+                    taskManager.getTotalTaskCount();
+                }
+                if (argument.isEmpty() || argument.equals("completed")) {
+                    taskManager.getCompletedTaskCount();
+                }
+                if (argument.isEmpty() || argument.equals("pending")) {
+                    taskManager.getPendingTaskCount();
+                }
+                break;
+            case SORTED:
+                querySorted(argument, "");
+                break;
+            case PREFIX: {
+                String[] parts = argument.split("\t", 2);
+                querySorted(parts[0], parts.length > 1 ? parts[1] : "");
+                break;
+            }
+            case CLEAR:
+                taskManager.clearAllTasks();
+                break;
+            default:
+                throw new IllegalStateException("Unhandled operation: " + operation);
+        }
+    }
+
+    /**
+     * Run a sorted or prefix query
+     * @param limitSpec "all" or a limit, optionally followed by ":pending" or ":completed"
+     * @param prefix The description prefix ("" for plain sorted order)
+     */
+    private void querySorted(String limitSpec, String prefix) {
+        String[] parts = limitSpec.trim().split(":", 2);
+        int limit = parts[0].equals("all") ? Integer.MAX_VALUE : Integer.parseInt(parts[0]);
+        if (parts.length > 1) {
+            taskManager.findTasksByStatusAndPrefix(parts[1].equals("completed"), prefix, limit);
+        } else if (limit == Integer.MAX_VALUE && prefix.isEmpty()) {
+            taskManager.getTasksSortedByDescription();
+        } else {
+            taskManager.findTasksByPrefix(prefix, limit);
+        }
+    }
+
+    // IDs that were never added in this trace (e.g. typos) are kept as-is
+    private int mapId(String argument) {
+        int recordedId = Integer.parseInt(argument.trim());
+        Integer replayedId = idMapping.get(recordedId);
+        return replayedId != null ? replayedId : recordedId;
+    }
+
+    private void waitUntil(long startNanos, long offsetMillis) {
+        if (speed == 0) {
+            return;
+        }
+        long targetNanos = startNanos + (long) (offsetMillis * 1_000_000L / speed);
+        long remaining = targetNanos - System.nanoTime();
+        while (remaining > 0) {
+            try {
+                Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            remaining = targetNanos - System.nanoTime();
+        }
+    }
+}
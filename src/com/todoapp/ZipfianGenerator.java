@@ -0,0 +1,94 @@
+package com.todoapp;
+
+import java.util.Random;
+
+/**
+ * ZipfianGenerator class for drawing skewed ranks in the range 1..n
+ * Uses rejection-inversion sampling, so n may change between calls
+ * without any precomputed tables (the task list grows and shrinks
+ * while a workload runs). An exponent of 0 gives a uniform distribution.
+ */
+public class ZipfianGenerator {
+    private final double exponent;
+
+    /**
+     * Constructor to create a generator
+     * @param exponent The skew exponent (0 = uniform, ~1 = typical hot-key skew)
+     */
+    public ZipfianGenerator(double exponent) {
+        if (exponent < 0 || Double.isNaN(exponent)) {
+            throw new IllegalArgumentException("Zipf exponent must be >= 0");
+        }
+        this.exponent = exponent;
+    }
+
+    public double getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Draw the next rank
+     * @param random The random source to use
+     * @param n The number of elements (must be positive)
+     * @return A rank between 1 and n, with rank 1 the most likely
+     */
+    public int next(Random random, int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Number of elements must be positive");
+        }
+        if (exponent == 0 || n == 1) {
+            return 1 + random.nextInt(n);
+        }
+
+        double hIntegralX1 = hIntegral(1.5) - 1.0;
+        double hIntegralN = hIntegral(n + 0.5);
+        double s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > n) {
+                k = n;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1.0 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1.0 - exponent);
+        if (t < -1.0) {
+            t = -1.0; // Guard against rounding errors
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    // log(1 + x) / x, accurate near zero
+    private static double helper1(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.log1p(x) / x;
+        }
+        return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    // (exp(x) - 1) / x, accurate near zero
+    private static double helper2(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.expm1(x) / x;
+        }
+        return 1.0 + x * 0.5 * (1.0 + x * (1.0 / 3.0) * (1.0 + 0.25 * x));
+    }
+}